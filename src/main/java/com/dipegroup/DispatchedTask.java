@@ -0,0 +1,106 @@
+package com.dipegroup;
+
+import com.dipegroup.limit.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+class DispatchedTask<E> extends FutureTask<E> {
+
+    private List<Runnable> listeners;
+    private List<Runnable> reservations;
+    private volatile Future<?> dispatch;
+
+    DispatchedTask(Callable<E> callable) {
+        super(callable);
+    }
+
+    void setDispatch(Future<?> dispatch) {
+        this.dispatch = dispatch;
+        if (isCancelled()) {
+            dispatch.cancel(false);
+        }
+    }
+
+    void addReservation(RateLimiter limiter, long delay) {
+        if (limiter == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!isCancelled()) {
+                if (reservations == null) {
+                    reservations = new ArrayList<>(2);
+                }
+                reservations.add(() -> limiter.release(delay));
+                return;
+            }
+        }
+        limiter.release(delay);
+    }
+
+    boolean markDispatched() {
+        synchronized (this) {
+            if (isCancelled()) {
+                return false;
+            }
+            reservations = null;
+            return true;
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean canceled = super.cancel(mayInterruptIfRunning);
+        Future<?> scheduled = dispatch;
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        if (canceled) {
+            List<Runnable> unused;
+            synchronized (this) {
+                unused = reservations;
+                reservations = null;
+            }
+            if (unused != null) {
+                unused.forEach(Runnable::run);
+            }
+        }
+        return canceled;
+    }
+
+    void whenDone(Runnable listener) {
+        synchronized (this) {
+            if (!isDone()) {
+                if (listeners == null) {
+                    listeners = new ArrayList<>();
+                }
+                listeners.add(listener);
+                return;
+            }
+        }
+        listener.run();
+    }
+
+    void removeListener(Runnable listener) {
+        synchronized (this) {
+            if (listeners != null) {
+                listeners.remove(listener);
+            }
+        }
+    }
+
+    @Override
+    protected void done() {
+        List<Runnable> completed;
+        synchronized (this) {
+            completed = listeners;
+            listeners = null;
+        }
+        if (completed != null) {
+            completed.forEach(Runnable::run);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.dipegroup.dto.Task;
 import com.dipegroup.dto.TaskInfo;
 import com.dipegroup.dto.TaskOptions;
 import com.dipegroup.exceptions.TaskDispatcherException;
+import com.dipegroup.limit.RateLimiter;
 import com.dipegroup.reject.LoggingRejectResultServiceIml;
 import com.dipegroup.reject.RejectResultService;
 import org.slf4j.Logger;
@@ -14,6 +15,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 public class TaskService {
@@ -24,6 +34,8 @@ public class TaskService {
     private final TaskStoreService storeService;
 
     private RejectResultService rejectResultService;
+    private RateLimiter rateLimiter;
+    private ScheduledExecutorService scheduler;
 
     public TaskService(ExecutorService executorService, TaskStoreService storeService) {
         this.executorService = executorService;
@@ -41,12 +53,55 @@ public class TaskService {
         this.rejectResultService = rejectResultService;
     }
 
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "task-dispatcher-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+        return scheduler;
+    }
+
+    public synchronized void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
     public <E> TaskInfo perform(Callable<E> callable) {
         return perform(callable, new TaskOptions(UUID.randomUUID().toString()));
     }
 
     public <E> TaskInfo perform(Callable<E> callable, TaskOptions options) {
-        return storeService.storeTask(executorService.submit(wrapCallable(callable, options.getTaskId())), options);
+        DispatchedTask<E> future = new DispatchedTask<>(wrapCallable(callable, options.getTaskId()));
+        RateLimiter groupLimiter = options.getRateLimiter();
+        long groupDelay = reserve(groupLimiter);
+        boolean globalReserved = groupDelay <= 0;
+        long delay = globalReserved ? reserve(rateLimiter) : groupDelay;
+        if (delay <= 0) {
+            executorService.execute(future);
+            return storeService.storeTask(future, options);
+        }
+
+        future.addReservation(groupLimiter, groupDelay);
+        if (globalReserved) {
+            future.addReservation(rateLimiter, delay);
+        }
+        TaskInfo info = storeService.storeTask(future, options);
+        info.setRateLimitDelayNanos(delay);
+        future.setDispatch(getScheduler().schedule(() -> dispatch(future, info, globalReserved),
+                delay, TimeUnit.NANOSECONDS));
+        return info;
     }
 
     public <E> List<TaskInfo> perform(List<Callable<E>> callableTasks) {
@@ -133,6 +188,29 @@ public class TaskService {
                 }, HashMap::putAll);
     }
 
+    public <E, U> U reduce(String groupId, U identity, BiFunction<U, ? super E, U> accumulator,
+                           BinaryOperator<U> combiner) {
+        return reduce(groupId, identity, accumulator, combiner, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    public <E, U> U reduce(String groupId, U identity, BiFunction<U, ? super E, U> accumulator,
+                           BinaryOperator<U> combiner, long timeout, TimeUnit unit) {
+        return fold(groupId, () -> identity, accumulator, combiner, timeout, unit);
+    }
+
+    public <E, A, R> R collect(String groupId, Collector<? super E, A, R> collector) {
+        return collect(groupId, collector, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    public <E, A, R> R collect(String groupId, Collector<? super E, A, R> collector, long timeout, TimeUnit unit) {
+        BiConsumer<A, ? super E> accumulator = collector.accumulator();
+        A container = this.<E, A>fold(groupId, collector.supplier(), (partial, result) -> {
+            accumulator.accept(partial, result);
+            return partial;
+        }, collector.combiner(), timeout, unit);
+        return collector.finisher().apply(container);
+    }
+
     public boolean exist(String taskId) {
         return storeService.findTask(taskId).isPresent();
     }
@@ -142,7 +220,122 @@ public class TaskService {
     }
 
     public void cancelGroup(String groupId) {
-        storeService.findTasks(groupId).forEach(this::cancelTask);
+        List<Task> tasks = storeService.deleteTasks(groupId);
+        if (tasks.isEmpty()) {
+            return;
+        }
+        tasks.forEach(task -> task.getFuture().cancel(true));
+        if (executorService instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) executorService).purge();
+        }
+        logger.debug("{} tasks of group {} were canceled and deleted from store", tasks.size(), groupId);
+        tasks.forEach(Task::runCallback);
+    }
+
+    private <E, U> U fold(String groupId, Supplier<U> supplier, BiFunction<U, ? super E, U> accumulator,
+                          BinaryOperator<U> combiner, long timeout, TimeUnit unit) {
+        List<Task> tasks = storeService.findTasks(groupId);
+        Map<Thread, U> partials = new ConcurrentHashMap<>();
+        Map<DispatchedTask<?>, Runnable> listeners = new HashMap<>();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        AtomicBoolean abandoned = new AtomicBoolean(false);
+        ReadWriteLock folding = new ReentrantReadWriteLock();
+        CountDownLatch pending = new CountDownLatch(tasks.size());
+
+        tasks.forEach(task -> {
+            String taskId = task.getInfo().getTaskId();
+            Runnable step = () -> {
+                folding.readLock().lock();
+                try {
+                    if (abandoned.get()) {
+                        return;
+                    }
+                    E result = fetchResult(taskId);
+                    if (result != null) {
+                        Thread thread = Thread.currentThread();
+                        U partial = partials.get(thread);
+                        partials.put(thread, accumulator.apply(partial == null ? supplier.get() : partial, result));
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    folding.readLock().unlock();
+                    pending.countDown();
+                }
+            };
+            if (task.getFuture() instanceof DispatchedTask) {
+                DispatchedTask<?> future = (DispatchedTask<?>) task.getFuture();
+                listeners.put(future, step);
+                future.whenDone(step);
+            } else {
+                step.run();
+            }
+        });
+
+        if (!awaitFold(pending, groupId, timeout, unit)) {
+            folding.writeLock().lock();
+            try {
+                abandoned.set(true);
+            } finally {
+                folding.writeLock().unlock();
+            }
+            listeners.forEach(DispatchedTask::removeListener);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return partials.values().stream().reduce(combiner).orElseGet(supplier);
+    }
+
+    private boolean awaitFold(CountDownLatch pending, String groupId, long timeout, TimeUnit unit) {
+        try {
+            if (pending.await(timeout, unit)) {
+                return true;
+            }
+            logger.debug("Results of group {} were not completed in time, remaining tasks are left in store", groupId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.debug("Folding results of group " + groupId + " was interrupted", e);
+        }
+        return false;
+    }
+
+    private <E> E fetchResult(String taskId) {
+        try {
+            return result(taskId);
+        } catch (TaskDispatcherException e) {
+            logger.debug("Cannot fetch result for task " + taskId, e);
+            return null;
+        }
+    }
+
+    private long reserve(RateLimiter limiter) {
+        return limiter == null ? 0 : limiter.reserve();
+    }
+
+    private <E> void dispatch(DispatchedTask<E> future, TaskInfo info, boolean globalReserved) {
+        if (future.isCancelled()) {
+            return;
+        }
+        if (!globalReserved) {
+            long delay = reserve(rateLimiter);
+            future.addReservation(rateLimiter, delay);
+            if (delay > 0) {
+                info.setRateLimitDelayNanos(info.getRateLimitDelayNanos() + delay);
+                future.setDispatch(getScheduler().schedule(() -> dispatch(future, info, true),
+                        delay, TimeUnit.NANOSECONDS));
+                return;
+            }
+        }
+        if (!future.markDispatched()) {
+            return;
+        }
+        try {
+            executorService.execute(future);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Task " + info.getTaskId() + " was rejected by executor", e);
+            future.cancel(false);
+        }
     }
 
     private <E> Callable<E> wrapCallable(Callable<E> callable, String taskId) {
@@ -7,7 +7,6 @@ import com.dipegroup.store.InMemoryTaskStore;
 import com.dipegroup.store.TaskStorage;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Future;
 
@@ -31,7 +30,7 @@ public class TaskStoreService {
 
         TaskInfo taskInfo = task.getInfo();
         if (options.getGroupId() == null) {
-            options.setGroupId("singleTask-" + options.getTaskId());
+            options.setGroupId(TaskStorage.SINGLE_TASK_GROUP_PREFIX + options.getTaskId());
         }
         taskInfo.setGroupId(options.getGroupId());
 
@@ -44,7 +43,7 @@ public class TaskStoreService {
     }
 
     public List<Task> findTasks(String groupId) {
-        return getStorage().find(task -> Objects.equals(groupId, task.getInfo().getGroupId()));
+        return getStorage().findGroup(groupId);
     }
 
     public List<Task> findActiveTasks() {
@@ -58,4 +57,8 @@ public class TaskStoreService {
     public Optional<Task> deleteTask(String taskId) {
         return Optional.ofNullable(getStorage().delete(taskId));
     }
+
+    public List<Task> deleteTasks(String groupId) {
+        return getStorage().deleteGroup(groupId);
+    }
 }
@@ -4,6 +4,7 @@ public class TaskInfo {
 
     private final String taskId;
     private String groupId;
+    private volatile long rateLimitDelayNanos;
 
     public TaskInfo(String taskId) {
         this.taskId = taskId;
@@ -20,4 +21,12 @@ public class TaskInfo {
     public void setGroupId(String groupId) {
         this.groupId = groupId;
     }
+
+    public long getRateLimitDelayNanos() {
+        return rateLimitDelayNanos;
+    }
+
+    public void setRateLimitDelayNanos(long rateLimitDelayNanos) {
+        this.rateLimitDelayNanos = rateLimitDelayNanos;
+    }
 }
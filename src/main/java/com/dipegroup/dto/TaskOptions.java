@@ -1,5 +1,7 @@
 package com.dipegroup.dto;
 
+import com.dipegroup.limit.RateLimiter;
+
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -8,6 +10,7 @@ public class TaskOptions {
     private final String taskId;
     private String groupId;
     private Function<String, Runnable> callback;
+    private RateLimiter rateLimiter;
 
     public TaskOptions(String taskId) {
         this.taskId = taskId;
@@ -17,6 +20,7 @@ public class TaskOptions {
         this.taskId = UUID.randomUUID().toString();
         this.groupId = groupOptions.getGroupId();
         this.callback = groupOptions.getCallback();
+        this.rateLimiter = groupOptions.getRateLimiter();
     }
 
     public String getTaskId() {
@@ -40,4 +44,13 @@ public class TaskOptions {
         this.callback = callback;
         return this;
     }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public TaskOptions setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
 }
@@ -0,0 +1,15 @@
+package com.dipegroup.limit;
+
+public interface RateLimiter {
+
+    /**
+     * Reserves one permit and returns delay in nanoseconds after which it can be used (0 if it is available now)
+     */
+    long reserve();
+
+    /**
+     * Returns permit reserved with provided delay, which would not be used
+     */
+    default void release(long delay) {
+    }
+}
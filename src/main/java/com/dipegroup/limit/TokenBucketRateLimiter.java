@@ -0,0 +1,66 @@
+package com.dipegroup.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    private long theoreticalArrival = System.nanoTime();
+
+    public TokenBucketRateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, 1);
+    }
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond should be positive, but was " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst should be positive, but was " + burst);
+        }
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = (burst - 1) * intervalNanos;
+    }
+
+    @Override
+    public long reserve() {
+        long now = System.nanoTime();
+        long start;
+        synchronized (this) {
+            start = Math.max(now, theoreticalArrival - burstNanos);
+            theoreticalArrival = Math.max(theoreticalArrival, start) + intervalNanos;
+        }
+        long delay = start - now;
+        if (delay > 0) {
+            throttledCount.increment();
+            waitNanos.add(delay);
+        }
+        return delay;
+    }
+
+    @Override
+    public void release(long delay) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            theoreticalArrival = Math.max(now, theoreticalArrival - intervalNanos);
+        }
+        if (delay > 0) {
+            throttledCount.decrement();
+            waitNanos.add(-delay);
+        }
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    public long getWaitTime(TimeUnit unit) {
+        return unit.convert(waitNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
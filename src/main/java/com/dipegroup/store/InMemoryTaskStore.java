@@ -2,9 +2,7 @@ package com.dipegroup.store;
 
 import com.dipegroup.dto.Task;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -12,10 +10,25 @@ import java.util.stream.Collectors;
 public class InMemoryTaskStore implements TaskStorage {
 
     private static final Map<String, Task> TASK_STORE = new ConcurrentHashMap<>();
+    private static final Map<String, Set<String>> GROUP_INDEX = new ConcurrentHashMap<>();
 
     @Override
     public void store(Task task) {
-        TASK_STORE.put(task.getInfo().getTaskId(), task);
+        String taskId = task.getInfo().getTaskId();
+        String groupId = task.getInfo().getGroupId();
+        TASK_STORE.compute(taskId, (key, previous) -> {
+            if (previous != null && !Objects.equals(groupId, previous.getInfo().getGroupId())) {
+                unindex(previous.getInfo().getGroupId(), taskId);
+            }
+            if (isIndexed(groupId, taskId)) {
+                GROUP_INDEX.compute(groupId, (group, taskIds) -> {
+                    Set<String> ids = taskIds == null ? ConcurrentHashMap.newKeySet() : taskIds;
+                    ids.add(taskId);
+                    return ids;
+                });
+            }
+            return task;
+        });
     }
 
     @Override
@@ -30,6 +43,74 @@ public class InMemoryTaskStore implements TaskStorage {
 
     @Override
     public Task delete(String taskId) {
-        return TASK_STORE.remove(taskId);
+        return remove(taskId, null);
+    }
+
+    @Override
+    public List<Task> findGroup(String groupId) {
+        if (groupId == null) {
+            return new ArrayList<>();
+        }
+        List<Task> tasks = new ArrayList<>();
+        Set<String> taskIds = GROUP_INDEX.get(groupId);
+        if (taskIds != null) {
+            taskIds.stream().map(TASK_STORE::get)
+                    .filter(task -> task != null && groupId.equals(task.getInfo().getGroupId()))
+                    .forEach(tasks::add);
+        }
+        singleTaskId(groupId).map(TASK_STORE::get)
+                .filter(task -> groupId.equals(task.getInfo().getGroupId()))
+                .ifPresent(tasks::add);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> deleteGroup(String groupId) {
+        if (groupId == null) {
+            return new ArrayList<>();
+        }
+        List<Task> deleted = new ArrayList<>();
+        Set<String> taskIds = GROUP_INDEX.remove(groupId);
+        if (taskIds != null) {
+            taskIds.forEach(taskId -> Optional.ofNullable(remove(taskId, groupId)).ifPresent(deleted::add));
+        }
+        singleTaskId(groupId).map(taskId -> remove(taskId, groupId)).ifPresent(deleted::add);
+        return deleted;
+    }
+
+    public Set<String> getIndexedGroups() {
+        return new HashSet<>(GROUP_INDEX.keySet());
+    }
+
+    private Task remove(String taskId, String groupId) {
+        Task[] removed = new Task[1];
+        TASK_STORE.computeIfPresent(taskId, (key, task) -> {
+            if (groupId != null && !groupId.equals(task.getInfo().getGroupId())) {
+                return task;
+            }
+            unindex(task.getInfo().getGroupId(), taskId);
+            removed[0] = task;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private static boolean isIndexed(String groupId, String taskId) {
+        return groupId != null && !(groupId.length() == SINGLE_TASK_GROUP_PREFIX.length() + taskId.length()
+                && groupId.startsWith(SINGLE_TASK_GROUP_PREFIX) && groupId.endsWith(taskId));
+    }
+
+    private static Optional<String> singleTaskId(String groupId) {
+        return groupId.startsWith(SINGLE_TASK_GROUP_PREFIX)
+                ? Optional.of(groupId.substring(SINGLE_TASK_GROUP_PREFIX.length())) : Optional.empty();
+    }
+
+    private void unindex(String groupId, String taskId) {
+        if (isIndexed(groupId, taskId)) {
+            GROUP_INDEX.computeIfPresent(groupId, (key, taskIds) -> {
+                taskIds.remove(taskId);
+                return taskIds.isEmpty() ? null : taskIds;
+            });
+        }
     }
 }
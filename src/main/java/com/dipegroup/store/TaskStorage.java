@@ -3,11 +3,15 @@ package com.dipegroup.store;
 import com.dipegroup.dto.Task;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public interface TaskStorage {
 
+    String SINGLE_TASK_GROUP_PREFIX = "singleTask-";
+
     void store(Task task);
 
     Optional<Task> find(String taskId);
@@ -16,4 +20,14 @@ public interface TaskStorage {
 
     Task delete(String taskId);
 
+    default List<Task> findGroup(String groupId) {
+        return find(task -> Objects.equals(groupId, task.getInfo().getGroupId()));
+    }
+
+    default List<Task> deleteGroup(String groupId) {
+        return findGroup(groupId).stream()
+                .map(task -> delete(task.getInfo().getTaskId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,310 @@
+package com.dipegroup;
+
+import com.dipegroup.dto.TaskOptions;
+import com.dipegroup.exceptions.TaskDispatcherException;
+import com.dipegroup.limit.TokenBucketRateLimiter;
+import com.dipegroup.store.InMemoryTaskStore;
+import com.dipegroup.store.TaskStorage;
+import org.apache.log4j.Level;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskServiceStressTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskServiceStressTest.class);
+
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 20000);
+    private static final int THREADS = Integer.getInteger("stress.threads", 8);
+    private static final int GROUPS = Integer.getInteger("stress.groups", 16);
+    private static final String STORAGE = System.getProperty("stress.storage", InMemoryTaskStore.class.getName());
+    private static final int WARMUP_OPERATIONS = Integer.getInteger("stress.warmup.operations", 10000);
+    private static final long P99_LIMIT_MICROS = Long.getLong("stress.p99.limit.micros", 0);
+
+    private static final int RECENT_TASKS = 1024;
+    private static final double GROUP_PERMITS_PER_SECOND = 500;
+    private static final int GROUP_BURST = 10;
+
+    private enum Operation {
+        SUBMIT(30, false), SUBMIT_LIMITED(8, false), SUBMIT_SINGLE(5, false), RESULT(18, true),
+        RESULT_MISSING(0, false), CANCEL(10, false), EXIST(8, false), FIND_GROUP(8, false), MERGE(5, true),
+        REDUCE(5, true), CANCEL_GROUP(3, false);
+
+        private final int weight;
+        private final boolean blocking;
+
+        Operation(int weight, boolean blocking) {
+            this.weight = weight;
+            this.blocking = blocking;
+        }
+
+        static Operation random(ThreadLocalRandom random) {
+            int value = random.nextInt(100);
+            for (Operation operation : values()) {
+                value -= operation.weight;
+                if (value < 0) {
+                    return operation;
+                }
+            }
+            return SUBMIT;
+        }
+    }
+
+    private static Level dispatcherLevel;
+
+    private final Map<String, AtomicInteger> callbacks = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> recentTasks = new AtomicReferenceArray<>(RECENT_TASKS);
+    private final AtomicLong submitted = new AtomicLong();
+    private final Queue<String> singleTasks = new ConcurrentLinkedQueue<>();
+    private final Map<String, TokenBucketRateLimiter> groupLimiters = new ConcurrentHashMap<>();
+
+    private TaskStoreService storeService;
+    private TaskService taskService;
+    private List<String> groups;
+
+    @BeforeAll
+    public static void quietLogging() {
+        org.apache.log4j.Logger dispatcherLogger = org.apache.log4j.Logger.getLogger("com.dipegroup");
+        dispatcherLevel = dispatcherLogger.getLevel();
+        dispatcherLogger.setLevel(Level.INFO);
+    }
+
+    @AfterAll
+    public static void restoreLogging() {
+        org.apache.log4j.Logger.getLogger("com.dipegroup").setLevel(dispatcherLevel);
+    }
+
+    @Test
+    public void testMixedOperations() throws Exception {
+        storeService = new TaskStoreService();
+        storeService.setStorage((TaskStorage) Class.forName(STORAGE).getDeclaredConstructor().newInstance());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        taskService = new TaskService(executor, storeService);
+
+        String run = UUID.randomUUID().toString();
+        groups = new ArrayList<>();
+        for (int i = 0; i < GROUPS; i++) {
+            groups.add("stress-" + run + "-" + i);
+        }
+        groups.forEach(groupId ->
+                groupLimiters.put(groupId, new TokenBucketRateLimiter(GROUP_PERMITS_PER_SECOND, GROUP_BURST)));
+
+        runPhase(WARMUP_OPERATIONS, null);
+
+        Map<Operation, LatencyRecorder> latencies = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyRecorder());
+        }
+        long elapsed = runPhase(OPERATIONS, latencies);
+
+        groups.forEach(taskService::cancelGroup);
+        singleTasks.forEach(taskService::cancel);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "Executor should be terminated");
+
+        report(latencies, elapsed);
+        verifyInvariants();
+    }
+
+    private long runPhase(int operations, Map<Operation, LatencyRecorder> latencies) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int workerOperations = operations / THREADS + (i < operations % THREADS ? 1 : 0);
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    Map<Operation, LatencyRecorder> local = new EnumMap<>(Operation.class);
+                    for (Operation operation : Operation.values()) {
+                        local.put(operation, new LatencyRecorder());
+                    }
+                    for (int j = 0; j < workerOperations; j++) {
+                        Operation operation = Operation.random(ThreadLocalRandom.current());
+                        long started = System.nanoTime();
+                        Operation executed = execute(operation);
+                        local.get(executed).record(System.nanoTime() - started);
+                    }
+                    if (latencies != null) {
+                        synchronized (latencies) {
+                            local.forEach((operation, recorder) -> latencies.get(operation).addAll(recorder));
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "stress-worker-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure.get() != null) {
+            fail("Stress worker failed", failure.get());
+        }
+        return System.nanoTime() - started;
+    }
+
+    private Operation execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String groupId = groups.get(random.nextInt(groups.size()));
+        switch (operation) {
+            case SUBMIT:
+                submit(new TaskOptions(UUID.randomUUID().toString()).setGroupId(groupId));
+                break;
+            case SUBMIT_LIMITED:
+                submit(new TaskOptions(UUID.randomUUID().toString()).setGroupId(groupId)
+                        .setRateLimiter(groupLimiters.get(groupId)));
+                break;
+            case SUBMIT_SINGLE:
+                TaskOptions options = new TaskOptions(UUID.randomUUID().toString());
+                singleTasks.add(options.getTaskId());
+                submit(options);
+                break;
+            case RESULT:
+                String taskId = recentTask(random);
+                if (taskId != null) {
+                    try {
+                        taskService.result(taskId);
+                    } catch (TaskDispatcherException e) {
+                        // task was already completed or canceled by another thread, or is not stored yet
+                        return Operation.RESULT_MISSING;
+                    }
+                }
+                break;
+            case CANCEL:
+                Optional.ofNullable(recentTask(random)).ifPresent(taskService::cancel);
+                break;
+            case EXIST:
+                Optional.ofNullable(recentTask(random)).ifPresent(taskService::exist);
+                break;
+            case FIND_GROUP:
+                storeService.findTasks(groupId).forEach(task ->
+                        assertEquals(groupId, task.getInfo().getGroupId(), "Task should belong to requested group"));
+                break;
+            case MERGE:
+                taskService.merge(groupId).forEach((id, value) ->
+                        assertTrue(value == null || value.equals(id), "Merged result should belong to its task"));
+                break;
+            case REDUCE:
+                if (random.nextBoolean()) {
+                    int count = taskService.<String, Integer>reduce(groupId, 0, (sum, value) -> sum + 1,
+                            Integer::sum, 1, TimeUnit.SECONDS);
+                    assertTrue(count >= 0);
+                } else {
+                    Set<String> collected = taskService.collect(groupId, Collectors.toSet(), 1, TimeUnit.SECONDS);
+                    collected.forEach(value ->
+                            assertTrue(callbacks.containsKey(value), "Collected result should belong to a task"));
+                }
+                break;
+            case CANCEL_GROUP:
+                taskService.cancelGroup(groupId);
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+        return operation;
+    }
+
+    private void submit(TaskOptions options) {
+        String taskId = options.getTaskId();
+        callbacks.put(taskId, new AtomicInteger(0));
+        options.setCallback(id -> () -> callbacks.get(id).incrementAndGet());
+        recentTasks.set((int) (submitted.getAndIncrement() % RECENT_TASKS), taskId);
+        taskService.perform(() -> {
+            if (ThreadLocalRandom.current().nextInt(10) == 0) {
+                Thread.sleep(1);
+            }
+            return taskId;
+        }, options);
+    }
+
+    private String recentTask(ThreadLocalRandom random) {
+        return recentTasks.get(random.nextInt(RECENT_TASKS));
+    }
+
+    private void verifyInvariants() {
+        callbacks.forEach((taskId, counter) ->
+                assertEquals(1, counter.get(), "Callback of task " + taskId + " should be executed exactly once"));
+        groups.forEach(groupId ->
+                assertTrue(storeService.findTasks(groupId).isEmpty(), "Group " + groupId + " should not leak tasks"));
+        assertTrue(storeService.getStorage().find(task -> callbacks.containsKey(task.getInfo().getTaskId())).isEmpty(),
+                "All tasks should be deleted from the store");
+        if (storeService.getStorage() instanceof InMemoryTaskStore) {
+            Set<String> indexedGroups = ((InMemoryTaskStore) storeService.getStorage()).getIndexedGroups();
+            groups.forEach(groupId -> assertFalse(indexedGroups.contains(groupId),
+                    "Group " + groupId + " should not leak task ids in the index"));
+        }
+    }
+
+    private void report(Map<Operation, LatencyRecorder> latencies, long elapsed) {
+        long total = latencies.values().stream().mapToLong(LatencyRecorder::size).sum();
+        logger.info("Stress run with {} storage: {} operations by {} threads in {} ms, {} ops/s", STORAGE, total,
+                THREADS, TimeUnit.NANOSECONDS.toMillis(elapsed), total * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        logger.info("Rate limited tasks: {} delayed, {} ms total wait",
+                groupLimiters.values().stream().mapToLong(TokenBucketRateLimiter::getThrottledCount).sum(),
+                groupLimiters.values().stream().mapToLong(limiter -> limiter.getWaitTime(TimeUnit.MILLISECONDS)).sum());
+        latencies.forEach((operation, recorder) -> {
+            if (recorder.size() == 0) {
+                return;
+            }
+            recorder.sort();
+            logger.info("{}: count={}, p50={}us, p99={}us, p999={}us, max={}us", operation, recorder.size(),
+                    recorder.percentileMicros(0.5), recorder.percentileMicros(0.99),
+                    recorder.percentileMicros(0.999), recorder.percentileMicros(1));
+            if (P99_LIMIT_MICROS > 0 && !operation.blocking) {
+                assertTrue(recorder.percentileMicros(0.99) <= P99_LIMIT_MICROS,
+                        operation + " p99 latency should not exceed " + P99_LIMIT_MICROS + "us");
+            }
+        });
+    }
+
+    private static class LatencyRecorder {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void record(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(LatencyRecorder recorder) {
+            for (int i = 0; i < recorder.size; i++) {
+                record(recorder.values[i]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        long percentileMicros(double percentile) {
+            int index = Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+            return TimeUnit.NANOSECONDS.toMicros(values[Math.max(0, index)]);
+        }
+    }
+}
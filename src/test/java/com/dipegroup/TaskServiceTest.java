@@ -3,6 +3,7 @@ package com.dipegroup;
 import com.dipegroup.dto.TaskInfo;
 import com.dipegroup.dto.TaskOptions;
 import com.dipegroup.exceptions.TaskDispatcherException;
+import com.dipegroup.limit.TokenBucketRateLimiter;
 import com.dipegroup.reject.ReThrowingErrorRejectResultServiceIml;
 import com.dipegroup.store.InMemoryTaskStore;
 import org.junit.jupiter.api.AfterAll;
@@ -13,6 +14,7 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -301,4 +303,310 @@ public class TaskServiceTest {
             assertFalse(taskService.exist(key));
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReduceTasks() {
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = ThreadLocalRandom.current().nextInt(5, 10);
+
+        for (int i = 0; i < jobs; i++) {
+            int value = i;
+            TaskOptions options = new TaskOptions("task-id-" + i).setGroupId(groupId);
+            taskService.perform(() -> {
+                Thread.sleep(1000);
+                return value;
+            }, options);
+        }
+        taskService.perform(() -> {
+            throw new IllegalArgumentException("Failed task result should be skipped");
+        }, new TaskOptions(UUID.randomUUID().toString()).setGroupId(groupId));
+
+        int result = taskService.<Integer, Integer>reduce(groupId, 0, Integer::sum, Integer::sum);
+        assertEquals(jobs * (jobs - 1) / 2, result);
+        assertTrue(storeService.findTasks(groupId).isEmpty(), "All group tasks should be deleted from store");
+    }
+
+    @Test
+    public void testReduceTasksInCompletionOrder() throws Exception {
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = 8;
+
+        TaskInfo slowTask = taskService.perform(() -> {
+            Thread.sleep(2000);
+            return "slow";
+        }, new TaskOptions(UUID.randomUUID().toString()).setGroupId(groupId));
+        List<TaskInfo> fastTasks = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            fastTasks.add(taskService.perform(() -> {
+                Thread.sleep(200);
+                return "fast";
+            }, new TaskOptions(UUID.randomUUID().toString()).setGroupId(groupId)));
+        }
+
+        CompletableFuture<Integer> total = CompletableFuture.supplyAsync(() ->
+                taskService.<String, Integer>reduce(groupId, 0, (sum, value) -> sum + value.length(), Integer::sum));
+        Thread.sleep(1200);
+
+        fastTasks.forEach(info -> assertFalse(taskService.exist(info.getTaskId()),
+                "Completed task should be folded without waiting for the slow one"));
+        assertTrue(taskService.exist(slowTask.getTaskId()));
+        assertFalse(total.isDone());
+
+        assertEquals("slow".length() + jobs * "fast".length(), total.get(5, TimeUnit.SECONDS).intValue(),
+                "Partial results folded by different threads should be combined");
+        assertFalse(taskService.exist(slowTask.getTaskId()));
+    }
+
+    @Test
+    public void testReduceTasksWithTimeout() {
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = ThreadLocalRandom.current().nextInt(5, 10);
+
+        for (int i = 0; i < jobs; i++) {
+            TaskOptions options = new TaskOptions(UUID.randomUUID().toString()).setGroupId(groupId);
+            taskService.perform(() -> {
+                Thread.sleep(1000);
+                return 1;
+            }, options);
+        }
+
+        assertEquals(0, taskService.<Integer, Integer>reduce(groupId, 0, Integer::sum, Integer::sum,
+                100, TimeUnit.MILLISECONDS).intValue());
+        assertEquals(jobs, storeService.findTasks(groupId).size(), "Not completed tasks should be left in store");
+
+        assertEquals(jobs, taskService.<Integer, Integer>reduce(groupId, 0, Integer::sum, Integer::sum,
+                3, TimeUnit.SECONDS).intValue());
+        assertTrue(storeService.findTasks(groupId).isEmpty());
+    }
+
+    @Test
+    public void testInterruptedReduceKeepsResults() throws InterruptedException {
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = ThreadLocalRandom.current().nextInt(5, 10);
+
+        for (int i = 0; i < jobs; i++) {
+            String commandId = UUID.randomUUID().toString();
+            TaskOptions options = new TaskOptions(commandId).setGroupId(groupId);
+            taskService.perform(() -> {
+                Thread.sleep(1000);
+                return commandId;
+            }, options);
+        }
+
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+        Thread reducing = new Thread(() -> {
+            taskService.<String, Integer>reduce(groupId, 0, (count, value) -> count + 1, Integer::sum);
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        reducing.start();
+        Thread.sleep(200);
+        reducing.interrupt();
+        reducing.join(1000);
+        assertTrue(interrupted.get(), "Interrupt flag should be restored");
+
+        Map<String, String> result = taskService.merge(groupId);
+        assertEquals(jobs, result.size(), "Interrupted reduce should not consume results");
+        result.forEach((key, value) -> assertEquals(key, value));
+    }
+
+    @Test
+    public void testCollectTasks() {
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = ThreadLocalRandom.current().nextInt(5, 10);
+
+        for (int i = 0; i < jobs; i++) {
+            String commandId = "task-id-" + i;
+            TaskOptions options = new TaskOptions(commandId).setGroupId(groupId);
+            taskService.perform(() -> {
+                Thread.sleep(1000);
+                return commandId;
+            }, options);
+        }
+
+        Set<String> result = taskService.collect(groupId, Collectors.toSet());
+        assertEquals(jobs, result.size());
+        result.forEach(key -> assertFalse(taskService.exist(key)));
+    }
+
+    @Test
+    public void testGroupRateLimit() {
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = 5;
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(10);
+        TaskOptions options = new TaskOptions(UUID.randomUUID().toString())
+                .setGroupId(groupId).setRateLimiter(rateLimiter);
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            tasks.add(System::nanoTime);
+        }
+        long started = System.nanoTime();
+        List<TaskInfo> info = taskService.perform(tasks, options);
+        assertTrue(System.nanoTime() - started < TimeUnit.MILLISECONDS.toNanos(200),
+                "Rate limited tasks should not block caller");
+        assertTrue(info.get(jobs - 1).getRateLimitDelayNanos() > 0, "Last task start should be delayed");
+
+        Long first = taskService.<Long, Long>reduce(groupId, Long.MAX_VALUE, Math::min, Math::min);
+        assertTrue(first >= started);
+        assertEquals(jobs - 1, rateLimiter.getThrottledCount());
+        assertTrue(rateLimiter.getWaitTime(TimeUnit.MILLISECONDS) >= 900, "Waits should be 100+200+300+400 ms");
+    }
+
+    @Test
+    public void testGroupAndGlobalRateLimit() throws TaskDispatcherException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            TaskService limitedService = new TaskService(executor, storeService);
+            TokenBucketRateLimiter globalLimiter = new TokenBucketRateLimiter(50);
+            limitedService.setRateLimiter(globalLimiter);
+
+            String groupId = String.valueOf(System.currentTimeMillis());
+            int jobs = 5;
+            TokenBucketRateLimiter groupLimiter = new TokenBucketRateLimiter(10);
+            List<Callable<Long>> tasks = new ArrayList<>();
+            for (int i = 0; i < jobs; i++) {
+                tasks.add(System::nanoTime);
+            }
+            limitedService.perform(tasks, new TaskOptions(UUID.randomUUID().toString())
+                    .setGroupId(groupId).setRateLimiter(groupLimiter));
+            TaskInfo single = limitedService.perform(System::nanoTime);
+
+            assertTrue(single.getRateLimitDelayNanos() < TimeUnit.MILLISECONDS.toNanos(50),
+                    "Group delayed tasks should not consume global permits in advance");
+            limitedService.result(single.getTaskId());
+            assertEquals(jobs, limitedService.<Long, Integer>reduce(groupId, 0, (count, value) -> count + 1,
+                    Integer::sum).intValue());
+
+            assertEquals(jobs - 1, groupLimiter.getThrottledCount());
+            assertTrue(globalLimiter.getThrottledCount() <= 1,
+                    "Global limiter should only record waits of tasks delayed by it");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRateLimitedTaskCancel() throws TaskDispatcherException, InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TaskService limitedService = new TaskService(executor, storeService);
+            TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2);
+            limitedService.setRateLimiter(rateLimiter);
+
+            AtomicInteger counter = new AtomicInteger(0);
+            TaskInfo first = limitedService.perform(counter::incrementAndGet);
+            TaskInfo second = limitedService.perform(counter::incrementAndGet);
+            assertEquals(0, first.getRateLimitDelayNanos());
+            assertTrue(second.getRateLimitDelayNanos() > 0, "Second task should wait for the next permit");
+
+            limitedService.cancel(second.getTaskId());
+            assertFalse(limitedService.exist(second.getTaskId()));
+            assertEquals(1, limitedService.<Integer>result(first.getTaskId()).intValue());
+
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(second.getRateLimitDelayNanos()) + 300);
+            assertEquals(1, counter.get(), "Canceled task should not be started after its delay");
+            assertEquals(0, rateLimiter.getThrottledCount(), "Wait of canceled task should not be recorded");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCancelGroupWithQueuedTasks() throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+        TaskService groupService = new TaskService(executor, storeService);
+
+        String groupId = String.valueOf(System.currentTimeMillis());
+        int jobs = 1000;
+        AtomicInteger completed = new AtomicInteger(0);
+        AtomicInteger callbacks = new AtomicInteger(0);
+        CountDownLatch running = new CountDownLatch(1);
+
+        TaskOptions options = new TaskOptions(UUID.randomUUID().toString())
+                .setGroupId(groupId).setCallback(taskId -> callbacks::incrementAndGet);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < jobs; i++) {
+            tasks.add(() -> {
+                running.countDown();
+                Thread.sleep(5000);
+                return completed.incrementAndGet();
+            });
+        }
+        groupService.perform(tasks, options);
+        running.await();
+        assertEquals(jobs - 1, executor.getQueue().size());
+
+        groupService.cancelGroup(groupId);
+
+        assertTrue(executor.getQueue().isEmpty(), "Canceled tasks should be purged from executor queue");
+        assertTrue(storeService.findTasks(groupId).isEmpty());
+        assertEquals(jobs, callbacks.get(), "Callback should be executed once per canceled task");
+
+        groupService.cancelGroup(groupId);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS), "Running task should be interrupted");
+        assertEquals(0, completed.get(), "Canceled tasks should be interrupted or not started");
+        assertEquals(jobs, callbacks.get());
+    }
+
+    @Test
+    public void testCancelRateLimitedGroup() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TaskService limitedService = new TaskService(executor, storeService);
+            String groupId = String.valueOf(System.currentTimeMillis());
+            AtomicInteger started = new AtomicInteger(0);
+
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                tasks.add(started::incrementAndGet);
+            }
+            limitedService.perform(tasks, new TaskOptions(UUID.randomUUID().toString())
+                    .setGroupId(groupId).setRateLimiter(new TokenBucketRateLimiter(1)));
+            ScheduledThreadPoolExecutor scheduler = (ScheduledThreadPoolExecutor) limitedService.getScheduler();
+            assertEquals(99, scheduler.getQueue().size());
+
+            limitedService.cancelGroup(groupId);
+
+            assertTrue(scheduler.getQueue().isEmpty(), "Delayed dispatch of canceled tasks should be removed");
+            assertTrue(storeService.findTasks(groupId).isEmpty());
+            assertTrue(started.get() <= 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCanceledGroupReleasesPermits() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TaskService limitedService = new TaskService(executor, storeService);
+            TokenBucketRateLimiter globalLimiter = new TokenBucketRateLimiter(1);
+            limitedService.setRateLimiter(globalLimiter);
+            TokenBucketRateLimiter groupLimiter = new TokenBucketRateLimiter(1);
+
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                tasks.add(() -> 0);
+            }
+            String groupId = String.valueOf(System.currentTimeMillis());
+            limitedService.perform(tasks, new TaskOptions(UUID.randomUUID().toString())
+                    .setGroupId(groupId).setRateLimiter(groupLimiter));
+            String globalGroupId = groupId + "-global";
+            limitedService.perform(tasks, globalGroupId);
+
+            limitedService.cancelGroup(groupId);
+            limitedService.cancelGroup(globalGroupId);
+
+            TaskInfo next = limitedService.perform(() -> 0, new TaskOptions(UUID.randomUUID().toString())
+                    .setRateLimiter(groupLimiter));
+            assertTrue(next.getRateLimitDelayNanos() <= TimeUnit.SECONDS.toNanos(1),
+                    "Permits of canceled tasks should be returned to the limiters");
+            assertTrue(groupLimiter.getThrottledCount() <= 1);
+            assertTrue(globalLimiter.getThrottledCount() <= 1);
+            limitedService.cancel(next.getTaskId());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
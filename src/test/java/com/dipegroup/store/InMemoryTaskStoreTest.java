@@ -0,0 +1,74 @@
+package com.dipegroup.store;
+
+import com.dipegroup.dto.Task;
+import com.dipegroup.dto.TaskOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryTaskStoreTest {
+
+    private final InMemoryTaskStore store = new InMemoryTaskStore();
+
+    @Test
+    public void testDeleteConcurrentWithStore() throws Exception {
+        String groupId = "store-race-" + System.currentTimeMillis();
+        int tasks = 20000;
+
+        CompletableFuture<Void> deleting = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < tasks; i++) {
+                String taskId = groupId + "-" + i;
+                while (store.delete(taskId) == null) {
+                    Thread.yield();
+                }
+            }
+        });
+        for (int i = 0; i < tasks; i++) {
+            store.store(createTask(groupId + "-" + i, groupId));
+        }
+        deleting.get(30, TimeUnit.SECONDS);
+
+        assertTrue(store.findGroup(groupId).isEmpty());
+        assertFalse(store.getIndexedGroups().contains(groupId), "Deleted tasks should not be left in group index");
+    }
+
+    @Test
+    public void testDeleteGroup() {
+        String groupId = "store-group-" + System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            store.store(createTask(groupId + "-" + i, groupId));
+        }
+        store.store(createTask(groupId + "-moved", groupId));
+        store.store(createTask(groupId + "-moved", groupId + "-other"));
+
+        assertEquals(10, store.findGroup(groupId).size());
+        assertEquals(10, store.deleteGroup(groupId).size());
+        assertTrue(store.findGroup(groupId).isEmpty());
+        assertFalse(store.getIndexedGroups().contains(groupId));
+
+        assertNotNull(store.delete(groupId + "-moved"));
+        assertFalse(store.getIndexedGroups().contains(groupId + "-other"));
+    }
+
+    @Test
+    public void testSingleTaskGroup() {
+        String taskId = "store-single-" + System.currentTimeMillis();
+        String groupId = TaskStorage.SINGLE_TASK_GROUP_PREFIX + taskId;
+        store.store(createTask(taskId, groupId));
+
+        assertFalse(store.getIndexedGroups().contains(groupId), "Single task group should not be indexed");
+        assertEquals(1, store.findGroup(groupId).size());
+        assertEquals(1, store.deleteGroup(groupId).size());
+        assertFalse(store.find(taskId).isPresent());
+        assertTrue(store.findGroup(groupId).isEmpty());
+    }
+
+    private Task createTask(String taskId, String groupId) {
+        Task<Object> task = new Task<>(CompletableFuture.completedFuture(null), new TaskOptions(taskId));
+        task.getInfo().setGroupId(groupId);
+        return task;
+    }
+}